@@ -3,6 +3,8 @@ package app;
 import controllers.*;
 import models.*;
 import java.util.*;
+import java.util.concurrent.Flow;
+import java.util.function.Predicate;
 
 /**
  * A singleton object containing a single source of truth for all views within this application.
@@ -18,7 +20,7 @@ public class Server {
      */
     private Server() {
         this.windows = new HashMap<>();
-        this.chat = new GroupChat();
+        this.chat = new GroupChat(new OffHeapHistory());
     }
 
     /**
@@ -51,9 +53,11 @@ public class Server {
         var person = new Person(name);
         this.chat.addParticipant(person);
         this.windows.put(person, new ChatViewController(person, chat));
+        this.chat.getReceipts().acknowledgeDelivered(person, this.chat.getLatestSequence());
         Arrays.stream(this.chat.getParticipants()).forEach(this::updateCountFor);
         this.windows.values().forEach(c ->
             c.displayServerMessage(name + " has joined the chat!"));
+        this.windows.values().forEach(ChatViewController::refreshReceipts);
     }
 
     /**
@@ -67,20 +71,47 @@ public class Server {
         Arrays.stream(this.chat.getParticipants()).forEach(this::updateCountFor);
         this.windows.values().forEach(c ->
                 c.displayServerMessage(person.getName() + " has left the chat!"));
+        this.windows.values().forEach(ChatViewController::refreshReceipts);
     }
 
     /**
      * Dispatch a new message from the given sender with the given content to the server chat. This will trigger all
      * windows associated with this chat to be updated with the new message.
      *
+     * <p> Each participant acknowledges delivery of the message as it is displayed. The sender, and any participant
+     * whose window is currently active, also acknowledges reading it.
+     *
      * @param sender The person who sent this message.
      * @param content The content typed by the user in the text panel within the UI.
      */
     public void dispatchMessage(Person sender, String content) {
         var msg = this.chat.addMessage(sender, content);
+        var sequence = this.chat.getLatestSequence();
+        var receipts = this.chat.getReceipts();
+
+        Arrays.stream(this.chat.getParticipants()).forEach(p -> {
+            var controller = this.windows.get(p);
+            var isSender = p.equals(msg.sender());
+            controller.displayNewMessage(msg, sequence, isSender);
+            receipts.acknowledgeDelivered(p, sequence);
+            if (isSender || controller.isViewActive())
+                receipts.acknowledgeRead(p, sequence);
+        });
+        this.windows.values().forEach(ChatViewController::refreshReceipts);
+    }
 
-        Arrays.stream(this.chat.getParticipants()).forEach(p ->
-            this.windows.get(p).displayNewMessage(msg, p.equals(msg.sender())));
+    /**
+     * Record that the given person has read every message currently in the chat, and notify all windows so that
+     * their receipt indicators reflect the change.
+     *
+     * @param person The person who has read the chat.
+     */
+    public void acknowledgeRead(Person person) {
+        var receipts = this.chat.getReceipts();
+        if (receipts.getRead(person) >= this.chat.getLatestSequence())
+            return;
+        receipts.acknowledgeRead(person, this.chat.getLatestSequence());
+        this.windows.values().forEach(ChatViewController::refreshReceipts);
     }
 
     /**
@@ -92,6 +123,27 @@ public class Server {
         return this.windows.size();
     }
 
+    /**
+     * Access a stream of the events occurring within the server's chat.
+     *
+     * @return A publisher of chat events.
+     * @see GroupChat#getEvents()
+     */
+    public Flow.Publisher<ChatEvent> getEvents() {
+        return this.chat.getEvents();
+    }
+
+    /**
+     * Subscribe to only those events within the server's chat which match the given filter.
+     *
+     * @param subscriber The subscriber to receive matching events.
+     * @param filter The filter deciding which events are delivered.
+     * @see GroupChat#subscribe(Flow.Subscriber, Predicate)
+     */
+    public void subscribe(Flow.Subscriber<? super ChatEvent> subscriber, Predicate<? super ChatEvent> filter) {
+        this.chat.subscribe(subscriber, filter);
+    }
+
     /**
      * Internal helper consumer for updating the participant count within a person's view in a concise manner
      * (with stream support).
@@ -68,13 +68,16 @@ public class ChatViewController {
             /**
              * Using this implementation of the windowActivated handler, each time a client is reactivated by the OS,
              * the keyboard will become the focused element. This helps streamline returning to other chat windows after
-             * pressing the "New User" button
+             * pressing the "New User" button.
+             *
+             * <p> Activating the window also marks every message in the chat as read by this view's user.
              *
              * @param e The specific details of this event are ignored in this handler.
              */
             @Override
             public void windowActivated(WindowEvent e) {
                 view.getInputField().requestFocusInWindow();
+                Server.getInstance().acknowledgeRead(senderModel);
             }
         });
 
@@ -119,9 +122,28 @@ public class ChatViewController {
      * The view controller's hook to notify a view of a new message that should be rendered to the frame.
      *
      * @param msg The message to render within the view.
+     * @param sequence The sequence number of the message within the chat.
+     * @param isSender A boolean to determine if the message originated from this view.
+     */
+    public void displayNewMessage(Message msg, int sequence, boolean isSender) {
+        this.view.displayNewChat(msg, sequence, isSender);
+    }
+
+    /**
+     * The view controller's hook to notify a view that the chat's receipts have changed and its indicators should be
+     * refreshed.
+     */
+    public void refreshReceipts() {
+        this.view.scheduleReceiptRefresh();
+    }
+
+    /**
+     * Determine whether this controller's view is the currently active window.
+     *
+     * @return `true` if the view is active, `false` otherwise.
      */
-    public void displayNewMessage(Message msg, boolean isSender) {
-        this.view.displayNewChat(msg, isSender);
+    public boolean isViewActive() {
+        return this.view.isActive();
     }
 
     /**
@@ -0,0 +1,80 @@
+package models;
+
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * A model representing something that happened within a GroupChat, as published to event subscribers.
+ *
+ * <p> Events are immutable and refer to their chat only by its identifier, since subscribers run on other threads and
+ * must not access the chat itself.
+ */
+public sealed interface ChatEvent {
+
+    /**
+     * Access the identifier of the chat in which this event occurred.
+     *
+     * @return The identifier of the chat that published this event.
+     */
+    UUID roomId();
+
+    /**
+     * An event published when a message is added to a chat.
+     *
+     * @param roomId   The identifier of the chat the message was sent in.
+     * @param sequence The sequence number of the message, i.e. its position within the chat's history.
+     * @param message  The message that was sent.
+     */
+    record MessageSent(UUID roomId, int sequence, Message message) implements ChatEvent {}
+
+    /**
+     * An event published when a person joins a chat.
+     *
+     * @param roomId The identifier of the chat that was joined.
+     * @param person The person who joined.
+     */
+    record ParticipantJoined(UUID roomId, Person person) implements ChatEvent {}
+
+    /**
+     * An event published when a person leaves a chat.
+     *
+     * @param roomId The identifier of the chat that was left.
+     * @param person The person who left.
+     */
+    record ParticipantLeft(UUID roomId, Person person) implements ChatEvent {}
+
+    /**
+     * An event published when the number of participants in a chat changes.
+     *
+     * @param roomId The identifier of the chat whose participant count changed.
+     * @param count  The new participant count.
+     */
+    record ParticipantCountChanged(UUID roomId, int count) implements ChatEvent {}
+
+    /**
+     * Create a filter accepting only events which occurred in the given chat.
+     *
+     * @param room The chat to accept events from.
+     * @return A predicate matching events from the given chat.
+     */
+    static Predicate<ChatEvent> inRoom(GroupChat room) {
+        var id = room.getId();
+        return e -> e.roomId().equals(id);
+    }
+
+    /**
+     * Create a filter accepting only events caused by the given person, i.e. messages they sent and their own joins
+     * and departures.
+     *
+     * @param sender The person to accept events from.
+     * @return A predicate matching events caused by the given person.
+     */
+    static Predicate<ChatEvent> fromSender(Person sender) {
+        return e -> {
+            if (e instanceof MessageSent m) return sender.equals(m.message().sender());
+            if (e instanceof ParticipantJoined j) return sender.equals(j.person());
+            if (e instanceof ParticipantLeft l) return sender.equals(l.person());
+            return false;
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package models;
+
+/**
+ * An exception signalled to a chat event subscriber which fell so far behind that its buffer overflowed and events
+ * were lost.
+ *
+ * <p> Once signalled, the subscription has been cancelled. A subscriber which must not miss events should resync from
+ * the chat's history starting at {@link #getFirstLostSequence()} and subscribe again.
+ */
+public class ChatEventOverflowException extends IllegalStateException {
+
+    /**
+     * The first event which was not delivered to the subscriber.
+     */
+    private final ChatEvent firstLost;
+
+    /**
+     * The sequence of the first message which may not have been delivered to the subscriber.
+     */
+    private final int firstLostSequence;
+
+    /**
+     * Construct a new exception describing the first event which could not be delivered.
+     *
+     * @param firstLost The first event not delivered to the subscriber.
+     * @param firstLostSequence The sequence of the first message which may not have been delivered.
+     */
+    public ChatEventOverflowException(ChatEvent firstLost, int firstLostSequence) {
+        super("Subscriber buffer overflowed; events were lost starting at " + firstLost
+                + ", resync from message " + firstLostSequence + ".");
+        this.firstLost = firstLost;
+        this.firstLostSequence = firstLostSequence;
+    }
+
+    /**
+     * Access the first event which was not delivered to the subscriber.
+     *
+     * @return The first lost event.
+     */
+    public ChatEvent getFirstLost() { return this.firstLost; }
+
+    /**
+     * Access the sequence of the first message which may not have been delivered to the subscriber. Every message
+     * before it was either delivered or rejected by the subscriber's filter.
+     *
+     * @return The sequence from which to resync the chat's history.
+     */
+    public int getFirstLostSequence() { return this.firstLostSequence; }
+}
@@ -0,0 +1,113 @@
+package models;
+
+import java.util.concurrent.Flow;
+import java.util.function.Predicate;
+
+/**
+ * A subscriber which forwards only the events matching a filter to a downstream subscriber, and reports overflow of
+ * the downstream subscriber's buffer.
+ *
+ * <p> Each event rejected by the filter is immediately replaced by requesting one more from upstream, so the
+ * downstream subscriber's demand is honoured exactly.
+ *
+ * <p> When the publisher drops an event for this subscriber, the drop is recorded via {@link #overflow()}. The next
+ * event delivered is then replaced by cancelling the subscription and signalling a {@link ChatEventOverflowException}
+ * naming that event, so that the error arrives on the subscriber's own thread, in sequence with its other signals.
+ * Since every event from that one onwards goes undelivered, it is the first event the subscriber has lost.
+ */
+class FilteredSubscriber implements Flow.Subscriber<ChatEvent> {
+
+    /**
+     * The subscriber receiving the events which pass the filter.
+     */
+    private final Flow.Subscriber<? super ChatEvent> downstream;
+
+    /**
+     * The filter deciding which events are forwarded.
+     */
+    private final Predicate<? super ChatEvent> filter;
+
+    /**
+     * The upstream subscription, available once subscribed.
+     */
+    private Flow.Subscription subscription;
+
+    /**
+     * A flag recording whether the publisher has dropped an event for this subscriber.
+     */
+    private volatile boolean overflowed;
+
+    /**
+     * The sequence of the last message passed to this subscriber, whether or not it matched the filter.
+     */
+    private int lastSequence;
+
+    /**
+     * A flag recording whether a terminal signal has been delivered downstream.
+     */
+    private boolean terminated;
+
+    /**
+     * Construct a new filtering subscriber.
+     *
+     * @param downstream The subscriber to forward matching events to.
+     * @param filter The filter deciding which events are forwarded.
+     * @param lastSequence The sequence of the latest message sent before subscribing.
+     */
+    FilteredSubscriber(
+            Flow.Subscriber<? super ChatEvent> downstream,
+            Predicate<? super ChatEvent> filter,
+            int lastSequence
+    ) {
+        this.downstream = downstream;
+        this.filter = filter;
+        this.lastSequence = lastSequence;
+    }
+
+    /**
+     * Record that the publisher could not deliver an event because this subscriber's buffer was full.
+     *
+     * <p> This is called from the publishing thread, and only flags the overflow; the error itself is signalled from
+     * the subscriber's thread.
+     */
+    void overflow() { this.overflowed = true; }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        this.downstream.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(ChatEvent item) {
+        if (this.terminated)
+            return;
+        if (this.overflowed) {
+            this.terminated = true;
+            this.subscription.cancel();
+            this.downstream.onError(new ChatEventOverflowException(item, this.lastSequence + 1));
+            return;
+        }
+        if (item instanceof ChatEvent.MessageSent sent)
+            this.lastSequence = sent.sequence();
+        if (this.filter.test(item)) {
+            this.downstream.onNext(item);
+        } else {
+            this.subscription.request(1);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        if (this.terminated) return;
+        this.terminated = true;
+        this.downstream.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (this.terminated) return;
+        this.terminated = true;
+        this.downstream.onComplete();
+    }
+}
@@ -1,12 +1,31 @@
 package models;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Predicate;
 
 /**
  * A model representing a group text message where multiple participants contribute to a shared message history.
  */
 public class GroupChat {
 
+    /**
+     * The executor on which event subscribers run, shared by all chats.
+     *
+     * <p> Threads are created on demand so that a subscriber blocking in its handler cannot starve the others, and are
+     * daemons so that they never keep the application alive.
+     */
+    private static final Executor EVENT_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        var thread = new Thread(r, "chat-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * A unique identifier for this chat.
+     */
+    private final UUID id;
+
     /**
      * The list of participants within this chat currently.
      */
@@ -15,16 +34,50 @@ public class GroupChat {
     /**
      * The full list of messages sent within this chat (at any point during the application's lifetime).
      */
-    private final List<Message> history;
+    private final MessageHistory history;
+
+    /**
+     * The publisher broadcasting this chat's events to subscribers.
+     *
+     * <p> Each subscriber is given its own bounded buffer, so a slow consumer never stalls the others. A subscriber
+     * whose buffer overflows has its subscription cancelled and is signalled a {@link ChatEventOverflowException}.
+     */
+    private final SubmissionPublisher<ChatEvent> events;
+
+    /**
+     * The delivery and read receipts of each participant within this chat.
+     */
+    private final ReceiptTracker receipts;
 
     /**
      * An trivial constructor to configure properties.
+     *
+     * <p> Messages sent in this chat are kept on the heap.
      */
     public GroupChat() {
+        this(new ListHistory());
+    }
+
+    /**
+     * Construct a new chat which stores its messages within the given history backend.
+     *
+     * @param history The backend responsible for retaining this chat's messages.
+     */
+    public GroupChat(MessageHistory history) {
+        this.id = UUID.randomUUID();
         this.participants = new ArrayList<>();
-        this.history = new ArrayList<>();
+        this.history = history;
+        this.events = new SubmissionPublisher<>(EVENT_EXECUTOR, Flow.defaultBufferSize());
+        this.receipts = new ReceiptTracker();
     }
 
+    /**
+     * Get the unique identifier for this chat, as carried by the events it publishes.
+     *
+     * @return This chat's identifier.
+     */
+    public UUID getId() { return this.id; }
+
     /**
      * Access a count of messages within this chat's history.
      *
@@ -39,19 +92,43 @@ public class GroupChat {
      */
     public int getParticipantCount() { return this.participants.size(); }
 
+    /**
+     * Access the sequence number of the most recent message in this chat.
+     *
+     * <p> A message's sequence number is its zero-based position within this chat's history.
+     *
+     * @return The latest sequence number, or {@link ReceiptTracker#NONE} if no messages have been sent.
+     */
+    public int getLatestSequence() { return this.history.size() - 1; }
+
+    /**
+     * Access the delivery and read receipts of this chat's participants.
+     *
+     * @return The receipt tracker for this chat.
+     */
+    public ReceiptTracker getReceipts() { return this.receipts; }
+
     /**
      * Add a new person to this chat.
      *
      * @param person The person to add to this chat.
      */
-    public void addParticipant(Person person) { this.participants.add(person); }
+    public void addParticipant(Person person) {
+        this.participants.add(person);
+        this.receipts.register(person);
+        this.publish(new ChatEvent.ParticipantJoined(this.id, person));
+        this.publish(new ChatEvent.ParticipantCountChanged(this.id, this.getParticipantCount()));
+    }
 
     /**
      * Add a new message to this chat.
      *
      * @param msg The message to add to this chat.
      */
-    public void addMessage(Message msg) { this.history.add(msg); }
+    public void addMessage(Message msg) {
+        this.history.append(msg);
+        this.publish(new ChatEvent.MessageSent(this.id, this.getLatestSequence(), msg));
+    }
 
     /**
      * Add a new message to the chat, receiving a copy of the newly created message.
@@ -71,7 +148,13 @@ public class GroupChat {
      *
      * @param person The person to remove from chat.
      */
-    public void removeParticipant(Person person) { this.participants.remove(person); }
+    public void removeParticipant(Person person) {
+        if (!this.participants.remove(person))
+            return;
+        this.receipts.unregister(person);
+        this.publish(new ChatEvent.ParticipantLeft(this.id, person));
+        this.publish(new ChatEvent.ParticipantCountChanged(this.id, this.getParticipantCount()));
+    }
 
     /**
      * Get an immutable array of participants active in this chat.
@@ -87,11 +170,65 @@ public class GroupChat {
     /**
      * Get an immutable array of message's from this chat's history.
      *
+     * <p> Every message in the history is decoded into a new Message and String at once, so on an off-heap history
+     * the whole chat is copied back onto the heap.
+     *
      * @return An array of all messages sent in this chat.
+     * @deprecated Use {@link #forEachMessage(MessageHistory.Visitor)} to walk the history without materializing it.
      */
+    @Deprecated
     public Message[] getHistory() {
         Message[] historyArray = new Message[this.history.size()];
-        historyArray = this.history.toArray(historyArray);
+        for (int i = 0; i < historyArray.length; i++)
+            historyArray[i] = this.history.get(i);
         return historyArray;
     }
+
+    /**
+     * Visit every message in this chat's history, in order, without materializing Message objects.
+     *
+     * @param visitor The visitor to receive each message.
+     */
+    public void forEachMessage(MessageHistory.Visitor visitor) { this.history.forEach(visitor); }
+
+    /**
+     * Access a stream of the events occurring within this chat.
+     *
+     * <p> Events are delivered asynchronously according to each subscriber's requested demand. A subscriber which falls
+     * more than a buffer's worth of events behind does not delay delivery to others; instead its subscription is
+     * cancelled and it is signalled a {@link ChatEventOverflowException}, after which it may resync from history
+     * starting at {@link ChatEventOverflowException#getFirstLostSequence()}.
+     *
+     * <p> Subscribers run on their own threads and must not call back into this chat.
+     *
+     * @return A publisher of this chat's events.
+     */
+    public Flow.Publisher<ChatEvent> getEvents() { return s -> this.subscribe(s, e -> true); }
+
+    /**
+     * Subscribe to only those events within this chat which match the given filter.
+     *
+     * <p> Filters for common cases are available from {@link ChatEvent#inRoom(GroupChat)} and
+     * {@link ChatEvent#fromSender(Person)}. Overflow is reported as described by {@link #getEvents()}.
+     *
+     * @param subscriber The subscriber to receive matching events.
+     * @param filter The filter deciding which events are delivered.
+     */
+    public void subscribe(Flow.Subscriber<? super ChatEvent> subscriber, Predicate<? super ChatEvent> filter) {
+        this.events.subscribe(new FilteredSubscriber(subscriber, filter, this.getLatestSequence()));
+    }
+
+    /**
+     * An internal function to offer an event to all current subscribers without blocking.
+     *
+     * <p> Subscribers whose buffer is full are flagged as overflowed rather than waited for.
+     *
+     * @param event The event to publish.
+     */
+    private void publish(ChatEvent event) {
+        this.events.offer(event, (subscriber, dropped) -> {
+            ((FilteredSubscriber) subscriber).overflow();
+            return false;
+        });
+    }
 }
@@ -0,0 +1,32 @@
+package models;
+
+import java.util.*;
+
+/**
+ * A message history kept entirely on the heap as a list of Message objects.
+ *
+ * <p> This is the default backend for a GroupChat, and is suitable for short-lived or small chats.
+ */
+public class ListHistory implements MessageHistory {
+
+    /**
+     * The messages stored within this history, in order of insertion.
+     */
+    private final List<Message> messages;
+
+    /**
+     * A trivial constructor to configure properties.
+     */
+    public ListHistory() {
+        this.messages = new ArrayList<>();
+    }
+
+    @Override
+    public void append(Message msg) { this.messages.add(msg); }
+
+    @Override
+    public int size() { return this.messages.size(); }
+
+    @Override
+    public Message get(int index) { return this.messages.get(index); }
+}
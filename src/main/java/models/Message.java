@@ -15,6 +15,17 @@ public record Message(Person sender, String content) {
      */
     @Override
     public String toString() {
-        return sender.toString() + ": " + this.content();
+        return format(this.sender(), this.content());
+    }
+
+    /**
+     * Format a message's parts for display without requiring a Message instance.
+     *
+     * @param sender The sender of the message.
+     * @param content The content sent in the message.
+     * @return sender.toString(): content
+     */
+    public static String format(Person sender, String content) {
+        return sender.toString() + ": " + content;
     }
 }
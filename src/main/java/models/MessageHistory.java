@@ -0,0 +1,62 @@
+package models;
+
+/**
+ * A storage backend for the ordered list of messages sent within a GroupChat.
+ *
+ * <p> Implementations decide how message data is retained; callers only rely on insertion order being preserved.
+ */
+public interface MessageHistory {
+
+    /**
+     * Append a message to the end of this history.
+     *
+     * @param msg The message to store.
+     */
+    void append(Message msg);
+
+    /**
+     * Access a count of messages stored in this history.
+     *
+     * @return The number of messages appended so far.
+     */
+    int size();
+
+    /**
+     * Access the message stored at the given position.
+     *
+     * @param index The zero-based position of the message, in order of insertion.
+     * @return The message at the given position.
+     * @throws IndexOutOfBoundsException If the index is negative or not less than {@link #size()}.
+     */
+    Message get(int index);
+
+    /**
+     * Visit every message in this history, in order of insertion, without materializing Message objects.
+     *
+     * <p> Backends which do not retain Message objects should override this to read their storage directly.
+     *
+     * @param visitor The visitor to receive each message.
+     */
+    default void forEach(Visitor visitor) {
+        for (int i = 0; i < this.size(); i++) {
+            var msg = this.get(i);
+            visitor.visit(i, msg.sender(), msg.content());
+        }
+    }
+
+    /**
+     * A callback receiving the parts of each message within a history.
+     */
+    @FunctionalInterface
+    interface Visitor {
+
+        /**
+         * Receive a single message.
+         *
+         * @param sequence The zero-based position of the message, in order of insertion.
+         * @param sender The sender of the message.
+         * @param content The content sent in the message.
+         */
+        void visit(int sequence, Person sender, String content);
+    }
+}
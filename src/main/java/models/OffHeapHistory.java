@@ -0,0 +1,248 @@
+package models;
+
+import java.nio.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * A message history that keeps message content outside the Java heap.
+ *
+ * <p> Each message is encoded into a direct byte buffer as a record of the form
+ * {@code [sender index (int)][content length (int)][UTF-8 content bytes]}, and the starting offset of every record is
+ * kept in a second direct buffer. Only one heap reference is held per distinct sender, so the live heap remains flat
+ * regardless of how many messages are stored.
+ *
+ * <p> Messages may be read back as new Message objects via {@link #get(int)}, in order via {@link #forEach(Visitor)},
+ * or field by field through a reusable {@link Entry} obtained from {@link #entry()}. The latter two never create
+ * Message objects.
+ *
+ * <p> Like the rest of the model, this class is not thread-safe.
+ */
+public class OffHeapHistory implements MessageHistory {
+
+    /**
+     * The number of bytes used by the header of each record (sender index and content length).
+     */
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    /**
+     * The initial capacity (in bytes) of the record buffer when none is given.
+     */
+    private static final int DEFAULT_CAPACITY = 64 * 1024;
+
+    /**
+     * The initial number of record offsets the index buffer can hold.
+     */
+    private static final int DEFAULT_INDEX_CAPACITY = 1024;
+
+    /**
+     * The distinct senders of messages in this history; records refer to senders by their position in this list.
+     */
+    private final List<Person> senders;
+
+    /**
+     * A lookup from each sender to their position within the sender list.
+     */
+    private final Map<Person, Integer> senderIndices;
+
+    /**
+     * The off-heap buffer containing all encoded records, back to back.
+     */
+    private ByteBuffer records;
+
+    /**
+     * The off-heap buffer containing the starting offset of each record within the record buffer.
+     */
+    private IntBuffer offsets;
+
+    /**
+     * The number of messages stored in this history.
+     */
+    private int count;
+
+    /**
+     * The entry reused to read back messages for {@link #get(int)} and {@link #forEach(Visitor)}.
+     */
+    private final Entry cursor;
+
+    /**
+     * Construct a new off-heap history with a default initial capacity.
+     */
+    public OffHeapHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Construct a new off-heap history which will initially reserve the given number of bytes for message records.
+     *
+     * <p> The buffers grow automatically as messages are appended.
+     *
+     * @param initialCapacity The number of bytes to reserve up front.
+     */
+    public OffHeapHistory(int initialCapacity) {
+        if (initialCapacity < HEADER_BYTES)
+            throw new IllegalArgumentException("Initial capacity must be at least " + HEADER_BYTES + " bytes.");
+        this.senders = new ArrayList<>();
+        this.senderIndices = new HashMap<>();
+        this.records = ByteBuffer.allocateDirect(initialCapacity);
+        this.offsets = ByteBuffer.allocateDirect(DEFAULT_INDEX_CAPACITY * Integer.BYTES).asIntBuffer();
+        this.count = 0;
+        this.cursor = new Entry();
+    }
+
+    @Override
+    public void append(Message msg) {
+        var bytes = msg.content().getBytes(StandardCharsets.UTF_8);
+        var senderIndex = this.senderIndices.computeIfAbsent(msg.sender(), p -> {
+            this.senders.add(p);
+            return this.senders.size() - 1;
+        });
+
+        ensureRecordCapacity(HEADER_BYTES + bytes.length);
+        ensureIndexCapacity();
+
+        this.offsets.put(this.count, this.records.position());
+        this.records.putInt(senderIndex);
+        this.records.putInt(bytes.length);
+        this.records.put(bytes);
+        this.count++;
+    }
+
+    @Override
+    public int size() { return this.count; }
+
+    @Override
+    public Message get(int index) {
+        this.cursor.moveTo(index);
+        return new Message(this.cursor.getSender(), this.cursor.getContent());
+    }
+
+    @Override
+    public void forEach(Visitor visitor) {
+        for (int i = 0; i < this.count; i++) {
+            this.cursor.moveTo(i);
+            visitor.visit(i, this.cursor.getSender(), this.cursor.getContent());
+        }
+    }
+
+    /**
+     * Create a new flyweight view over this history.
+     *
+     * <p> The returned entry can be repositioned with {@link Entry#moveTo(int)} any number of times, so a single
+     * instance suffices to walk the whole history.
+     *
+     * @return A new entry, not yet positioned on any message.
+     */
+    public Entry entry() { return new Entry(); }
+
+    /**
+     * Access the number of off-heap bytes currently occupied by message records.
+     *
+     * @return The number of bytes written to the record buffer.
+     */
+    public int getUsedBytes() { return this.records.position(); }
+
+    /**
+     * An internal function to grow the record buffer so that it can accept the given number of additional bytes.
+     *
+     * @param needed The number of bytes about to be written.
+     */
+    private void ensureRecordCapacity(int needed) {
+        if (this.records.remaining() >= needed)
+            return;
+        var required = (long) this.records.position() + needed;
+        if (required > Integer.MAX_VALUE)
+            throw new IllegalStateException("Off-heap history cannot exceed " + Integer.MAX_VALUE + " bytes.");
+        var capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(required, 2L * this.records.capacity()));
+        var grown = ByteBuffer.allocateDirect(capacity);
+        this.records.flip();
+        grown.put(this.records);
+        this.records = grown;
+    }
+
+    /**
+     * An internal function to grow the offset index so that it can accept one more entry.
+     */
+    private void ensureIndexCapacity() {
+        if (this.count < this.offsets.capacity())
+            return;
+        var grown = ByteBuffer.allocateDirect(2 * this.offsets.capacity() * Integer.BYTES).asIntBuffer();
+        this.offsets.position(0).limit(this.count);
+        grown.put(this.offsets);
+        this.offsets = grown;
+    }
+
+    /**
+     * A reusable, read-only view of a single message within an OffHeapHistory.
+     *
+     * <p> An entry holds no message data of its own; each accessor reads directly from the off-heap buffers. Content is
+     * only decoded into a String when explicitly requested.
+     */
+    public class Entry {
+
+        /**
+         * The offset of the record this entry currently refers to, or -1 if it has not been positioned.
+         */
+        private int offset;
+
+        /**
+         * An internal constructor, entries are obtained via {@link OffHeapHistory#entry()}.
+         */
+        private Entry() {
+            this.offset = -1;
+        }
+
+        /**
+         * Reposition this entry onto the message at the given index.
+         *
+         * @param index The zero-based position of the message, in order of insertion.
+         * @return This entry, to allow chaining.
+         * @throws IndexOutOfBoundsException If the index is negative or not less than the history's size.
+         */
+        public Entry moveTo(int index) {
+            Objects.checkIndex(index, count);
+            this.offset = offsets.get(index);
+            return this;
+        }
+
+        /**
+         * Access the sender of the current message.
+         *
+         * @return The person who sent this message.
+         */
+        public Person getSender() {
+            return senders.get(records.getInt(position()));
+        }
+
+        /**
+         * Access the length of the current message's encoded content, without decoding it.
+         *
+         * @return The number of UTF-8 bytes in this message's content.
+         */
+        public int getContentLength() {
+            return records.getInt(position() + Integer.BYTES);
+        }
+
+        /**
+         * Decode the content of the current message.
+         *
+         * @return The content sent in this message.
+         */
+        public String getContent() {
+            var bytes = new byte[getContentLength()];
+            records.get(position() + HEADER_BYTES, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * An internal function to access the current record offset, ensuring this entry has been positioned.
+         *
+         * @return The offset of the current record.
+         */
+        private int position() {
+            if (this.offset < 0)
+                throw new IllegalStateException("Entry has not been positioned on a message.");
+            return this.offset;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package models;
+
+import java.util.*;
+
+/**
+ * A model tracking which messages within a chat each participant has received and read.
+ *
+ * <p> Messages are identified by their sequence number, i.e. their zero-based position within the chat's history.
+ * Rather than recording a receipt per message, each participant holds a pair of watermarks: the highest sequence
+ * delivered to them, and the highest sequence they have read. Every message at or below a watermark is considered
+ * acknowledged, so memory use grows with the number of participants rather than the number of messages.
+ */
+public class ReceiptTracker {
+
+    /**
+     * The value of a watermark which has not yet acknowledged any message.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * The watermarks held for each tracked participant.
+     */
+    private final Map<Person, Watermarks> watermarks;
+
+    /**
+     * A trivial constructor to configure properties.
+     */
+    public ReceiptTracker() {
+        this.watermarks = new HashMap<>();
+    }
+
+    /**
+     * Begin tracking receipts for the given person. Nothing is acknowledged for them initially.
+     *
+     * @param person The person to track.
+     */
+    public void register(Person person) { this.watermarks.putIfAbsent(person, new Watermarks()); }
+
+    /**
+     * Stop tracking receipts for the given person.
+     *
+     * @param person The person to forget.
+     */
+    public void unregister(Person person) { this.watermarks.remove(person); }
+
+    /**
+     * Access a count of participants whose receipts are being tracked.
+     *
+     * @return The number of tracked participants.
+     */
+    public int getParticipantCount() { return this.watermarks.size(); }
+
+    /**
+     * Record that every message up to and including the given sequence has been delivered to the given person.
+     *
+     * <p> Watermarks only move forward; acknowledging an earlier sequence has no effect.
+     *
+     * @param person The person acknowledging delivery.
+     * @param sequence The highest sequence delivered to them.
+     */
+    public void acknowledgeDelivered(Person person, int sequence) {
+        var marks = this.watermarks.get(person);
+        if (marks == null) return;
+        marks.delivered = Math.max(marks.delivered, sequence);
+    }
+
+    /**
+     * Record that every message up to and including the given sequence has been read by the given person.
+     *
+     * <p> Reading a message implies that it was delivered. Watermarks only move forward; acknowledging an earlier
+     * sequence has no effect.
+     *
+     * @param person The person acknowledging reading.
+     * @param sequence The highest sequence read by them.
+     */
+    public void acknowledgeRead(Person person, int sequence) {
+        var marks = this.watermarks.get(person);
+        if (marks == null) return;
+        marks.read = Math.max(marks.read, sequence);
+        marks.delivered = Math.max(marks.delivered, marks.read);
+    }
+
+    /**
+     * Access the highest sequence delivered to the given person.
+     *
+     * @param person The person to query.
+     * @return Their delivery watermark, or {@link #NONE} if nothing has been delivered or they are not tracked.
+     */
+    public int getDelivered(Person person) {
+        var marks = this.watermarks.get(person);
+        return marks == null ? NONE : marks.delivered;
+    }
+
+    /**
+     * Access the highest sequence read by the given person.
+     *
+     * @param person The person to query.
+     * @return Their read watermark, or {@link #NONE} if nothing has been read or they are not tracked.
+     */
+    public int getRead(Person person) {
+        var marks = this.watermarks.get(person);
+        return marks == null ? NONE : marks.read;
+    }
+
+    /**
+     * Capture the read watermarks of every tracked participant other than the given one, for answering many "seen by"
+     * queries at once.
+     *
+     * @param excluded The participant to leave out, typically the sender of the messages being queried.
+     * @return A snapshot of the other participants' read watermarks.
+     */
+    public ReadSnapshot snapshotReads(Person excluded) {
+        var marks = new int[this.watermarks.size()];
+        var size = 0;
+        for (var entry : this.watermarks.entrySet()) {
+            if (!entry.getKey().equals(excluded))
+                marks[size++] = entry.getValue().read;
+        }
+        marks = Arrays.copyOf(marks, size);
+        Arrays.sort(marks);
+        return new ReadSnapshot(marks);
+    }
+
+    /**
+     * An immutable, sorted copy of a set of read watermarks.
+     *
+     * <p> Each query is a binary search over the watermarks, so its cost depends only on the number of participants.
+     */
+    public static class ReadSnapshot {
+
+        /**
+         * The captured read watermarks, in ascending order.
+         */
+        private final int[] sorted;
+
+        /**
+         * An internal constructor, snapshots are obtained via {@link ReceiptTracker#snapshotReads(Person)}.
+         *
+         * @param sorted The captured read watermarks, in ascending order.
+         */
+        private ReadSnapshot(int[] sorted) {
+            this.sorted = sorted;
+        }
+
+        /**
+         * Access the number of participants captured in this snapshot.
+         *
+         * @return The number of watermarks captured.
+         */
+        public int getParticipantCount() { return this.sorted.length; }
+
+        /**
+         * Count how many of the captured participants have read the message with the given sequence.
+         *
+         * @param sequence The sequence of the message to query.
+         * @return The number of watermarks at or beyond the given sequence.
+         */
+        public int countRead(int sequence) {
+            var low = 0;
+            var high = this.sorted.length;
+            while (low < high) {
+                var mid = (low + high) >>> 1;
+                if (this.sorted[mid] < sequence)
+                    low = mid + 1;
+                else
+                    high = mid;
+            }
+            return this.sorted.length - low;
+        }
+    }
+
+    /**
+     * The pair of watermarks held for a single participant.
+     */
+    private static class Watermarks {
+
+        /**
+         * The highest sequence delivered to this participant.
+         */
+        private int delivered = NONE;
+
+        /**
+         * The highest sequence read by this participant.
+         */
+        private int read = NONE;
+    }
+}
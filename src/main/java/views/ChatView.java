@@ -4,7 +4,8 @@ import models.*;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A general view combining all components into a functioning GroupChat messenger window.
@@ -26,6 +27,26 @@ public class ChatView extends JFrame {
      */
     private final InputPanel inputPane;
 
+    /**
+     * The user to whom this view belongs.
+     */
+    private final Person owner;
+
+    /**
+     * The chat shown within this view.
+     */
+    private final GroupChat chat;
+
+    /**
+     * The panels showing messages sent by this view's user, in order of sequence, whose receipts are displayed.
+     */
+    private final List<MessagePanel> sentPanels;
+
+    /**
+     * A flag recording whether a refresh of the receipt indicators has already been scheduled.
+     */
+    private boolean receiptRefreshPending;
+
     /**
      * Construct a new ChatView for the given sender to view and edit the given chat.
      *
@@ -44,11 +65,14 @@ public class ChatView extends JFrame {
         this.toolbar = new ToolbarPanel(chat.getParticipantCount());
         this.add(this.toolbar, BorderLayout.NORTH);
 
+        this.owner = sender;
+        this.chat = chat;
+        this.sentPanels = new ArrayList<>();
+        this.receiptRefreshPending = false;
+
         this.chatPane = new JPanel();
-        this.chatPane.setLayout(new BoxLayout(this.chatPane, BoxLayout.Y_AXIS));
-        if (chat.getMessageCount() != 0) {
-            Arrays.stream(chat.getHistory()).forEachOrdered(m -> this.displayNewChat(m, false) );
-        }
+        this.chatPane.setLayout(new MessageListLayout());
+        chat.forEachMessage((i, author, content) -> this.chatPane.add(new MessagePanel(author, content, i, false)));
         this.add(new JScrollPane(this.chatPane), BorderLayout.CENTER);
 
         this.inputPane = new InputPanel();
@@ -73,13 +97,30 @@ public class ChatView extends JFrame {
      * Post a new chat message to this window.
      *
      * @param msg The message to post in the chat pane.
+     * @param sequence The sequence number of the message within the chat.
      * @param isSender A boolean to determine if the message originated from this view.
      */
-    public void displayNewChat(Message msg, boolean isSender) {
-        this.chatPane.add(new MessagePanel(msg, isSender));
+    public void displayNewChat(Message msg, int sequence, boolean isSender) {
+        var panel = new MessagePanel(msg, sequence, isSender);
+        if (isSender)
+            this.sentPanels.add(panel);
+        this.chatPane.add(panel);
         this.updateChat();
     }
 
+    /**
+     * Request that the read receipt indicators within this window be brought up to date.
+     *
+     * <p> Requests are coalesced: however many are made before the event dispatch thread gets to them, the indicators
+     * are recomputed and repainted only once.
+     */
+    public void scheduleReceiptRefresh() {
+        if (this.receiptRefreshPending)
+            return;
+        this.receiptRefreshPending = true;
+        SwingUtilities.invokeLater(this::refreshReceipts);
+    }
+
     /**
      * Update the participant count tracker to the new count within this window.
      *
@@ -116,11 +157,38 @@ public class ChatView extends JFrame {
         return this.inputPane.getSendButton();
     }
 
+    /**
+     * An internal function to bring the read receipt indicators within this window up to date in a single batch.
+     *
+     * <p> The other participants' read watermarks are sorted once, after which each indicator's count is a binary
+     * search. Sent messages are visited from newest to oldest, stopping at the first one which is seen by everyone and
+     * already displayed as such: every older message was then seen by everyone at the previous refresh too, so their
+     * indicators cannot have changed. The chat pane is only revalidated if some indicator changed.
+     */
+    private void refreshReceipts() {
+        this.receiptRefreshPending = false;
+        var reads = this.chat.getReceipts().snapshotReads(this.owner);
+        var others = reads.getParticipantCount();
+        var changed = false;
+        for (int i = this.sentPanels.size() - 1; i >= 0; i--) {
+            var panel = this.sentPanels.get(i);
+            var seen = reads.countRead(panel.getSequence());
+            var updated = panel.updateReceipt(seen, others);
+            changed |= updated;
+            if (seen == others && !updated)
+                break;
+        }
+        if (changed)
+            this.updateChat();
+    }
+
     /**
      * An internal function to simplify updating the chat pane within this window.
+     *
+     * <p> Only a layout pass is requested; the pane's layout repaints just the regions of messages which are added or
+     * moved, rather than the whole pane.
      */
     private void updateChat() {
         this.chatPane.revalidate();
-        this.chatPane.repaint();
     }
 }
@@ -0,0 +1,264 @@
+package views;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * A vertical layout for the chat pane which stacks each message across the full width of the pane at its preferred
+ * height.
+ *
+ * <p> The pane is revalidated for every message added to it. A BoxLayout would then discard its measurements and
+ * re-measure and reposition every message in the pane, so each new message would cost time proportional to the whole
+ * history shown in each window. This layout instead remembers the height and position of every child: on each pass it
+ * only measures children which are new or have been invalidated since the last pass, and only repositions children
+ * from the first one whose position may have changed. Appending a message therefore measures and positions just that
+ * message.
+ *
+ * <p> When the children do not fill the pane, the spare height is shared equally between them, as BoxLayout does for
+ * components with unbounded maximum heights such as MessagePanel.
+ *
+ * <p> The incremental passes assume that messages are only ever appended to the pane. Adding a child anywhere but the
+ * end, or removing one, discards every measurement so that the next pass lays the whole pane out afresh; this is
+ * correct but as slow as a BoxLayout for that pass. Reordering children in place, e.g. via
+ * {@link Container#setComponentZOrder(Component, int)}, is not reported to layout managers and is not supported.
+ *
+ * <p> A layout instance retains state about the container it lays out, so it must not be shared between containers.
+ */
+class MessageListLayout implements LayoutManager2 {
+
+    /**
+     * The number of children for which space is initially reserved in the measurement arrays.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The preferred height of each measured child.
+     */
+    private int[] heights;
+
+    /**
+     * The preferred width of each measured child.
+     */
+    private int[] widths;
+
+    /**
+     * The offset of each measured child from the top of the stack; the final element holds the height of the stack.
+     */
+    private int[] tops;
+
+    /**
+     * The number of leading children which have been measured.
+     */
+    private int measured;
+
+    /**
+     * The widest preferred width among the measured children.
+     */
+    private int widest;
+
+    /**
+     * The index of the first child whose position may have changed since the last layout pass.
+     */
+    private int firstChanged;
+
+    /**
+     * The area within which children were placed at the last layout pass, or null if there has been none.
+     */
+    private Rectangle laidOutArea;
+
+    /**
+     * A flag recording whether spare height was shared between the children at the last layout pass.
+     */
+    private boolean stretched;
+
+    /**
+     * Construct a new layout with no measured children.
+     */
+    MessageListLayout() {
+        this.heights = new int[INITIAL_CAPACITY];
+        this.widths = new int[INITIAL_CAPACITY];
+        this.tops = new int[INITIAL_CAPACITY + 1];
+        this.measured = 0;
+        this.widest = 0;
+        this.firstChanged = 0;
+        this.laidOutArea = null;
+        this.stretched = false;
+    }
+
+    @Override
+    public void addLayoutComponent(String name, Component comp) { this.addLayoutComponent(comp, name); }
+
+    /**
+     * Note that a child has been added to the container, discarding every measurement unless it was appended.
+     *
+     * @param comp The child which was added.
+     * @param constraints Ignored, this layout takes no constraints.
+     */
+    @Override
+    public void addLayoutComponent(Component comp, Object constraints) {
+        var parent = comp.getParent();
+        if (parent == null || parent.getComponent(parent.getComponentCount() - 1) != comp)
+            this.reset();
+    }
+
+    @Override
+    public void removeLayoutComponent(Component comp) { this.reset(); }
+
+    /**
+     * Measurements are not discarded when the container is invalidated, since that happens whenever a message is
+     * appended; instead each pass re-measures only the children which have themselves been invalidated.
+     *
+     * @param target The container which was invalidated.
+     */
+    @Override
+    public void invalidateLayout(Container target) {}
+
+    @Override
+    public Dimension maximumLayoutSize(Container target) { return new Dimension(Short.MAX_VALUE, Short.MAX_VALUE); }
+
+    @Override
+    public float getLayoutAlignmentX(Container target) { return Component.CENTER_ALIGNMENT; }
+
+    @Override
+    public float getLayoutAlignmentY(Container target) { return Component.CENTER_ALIGNMENT; }
+
+    @Override
+    public Dimension preferredLayoutSize(Container parent) {
+        synchronized (parent.getTreeLock()) {
+            this.measure(parent);
+            var insets = parent.getInsets();
+            return new Dimension(
+                    this.widest + insets.left + insets.right,
+                    this.tops[this.measured] + insets.top + insets.bottom
+            );
+        }
+    }
+
+    @Override
+    public Dimension minimumLayoutSize(Container parent) {
+        return this.preferredLayoutSize(parent);
+    }
+
+    @Override
+    public void layoutContainer(Container parent) {
+        synchronized (parent.getTreeLock()) {
+            this.measure(parent);
+            var insets = parent.getInsets();
+            var area = new Rectangle(
+                    insets.left,
+                    insets.top,
+                    parent.getWidth() - insets.left - insets.right,
+                    parent.getHeight() - insets.top - insets.bottom
+            );
+            var count = this.measured;
+            var spare = area.height - this.tops[count];
+
+            if (spare > 0 && count > 0) {
+                var share = spare / count;
+                var y = area.y;
+                for (int i = 0; i < count; i++) {
+                    var height = this.heights[i] + share;
+                    parent.getComponent(i).setBounds(area.x, y, area.width, height);
+                    y += height;
+                }
+                this.stretched = true;
+            } else {
+                var start = this.stretched || !this.isSameColumn(area) ? 0 : this.firstChanged;
+                for (int i = start; i < count; i++)
+                    parent.getComponent(i).setBounds(area.x, area.y + this.tops[i], area.width, this.heights[i]);
+                this.stretched = false;
+            }
+            this.laidOutArea = area;
+            this.firstChanged = count;
+        }
+    }
+
+    /**
+     * An internal function to bring the measurements of the given container's children up to date.
+     *
+     * <p> Children appended since the last measurement are measured for the first time. Of the children already
+     * measured, only those which have been invalidated are measured again; any other child's preferred size cannot
+     * have changed. Child positions are then recomputed from the first child whose height changed.
+     *
+     * @param parent The container whose children should be measured.
+     */
+    private void measure(Container parent) {
+        var count = parent.getComponentCount();
+        if (count < this.measured)
+            this.reset();
+        this.ensureCapacity(count);
+
+        var resized = count;
+        var narrowed = false;
+        for (int i = 0; i < this.measured; i++) {
+            var child = parent.getComponent(i);
+            if (child.isValid())
+                continue;
+            var size = child.getPreferredSize();
+            if (size.height != this.heights[i]) {
+                this.heights[i] = size.height;
+                resized = Math.min(resized, i);
+            }
+            narrowed |= size.width < this.widths[i] && this.widths[i] == this.widest;
+            this.widths[i] = size.width;
+            this.widest = Math.max(this.widest, size.width);
+        }
+        for (int i = this.measured; i < count; i++) {
+            var size = parent.getComponent(i).getPreferredSize();
+            this.heights[i] = size.height;
+            this.widths[i] = size.width;
+            this.widest = Math.max(this.widest, size.width);
+        }
+        resized = Math.min(resized, this.measured);
+        this.measured = count;
+
+        if (narrowed) {
+            this.widest = 0;
+            for (int i = 0; i < count; i++)
+                this.widest = Math.max(this.widest, this.widths[i]);
+        }
+        for (int i = resized; i < count; i++)
+            this.tops[i + 1] = this.tops[i] + this.heights[i];
+        this.firstChanged = Math.min(this.firstChanged, resized);
+    }
+
+    /**
+     * An internal function to determine whether children would be placed in the same column as at the last layout
+     * pass.
+     *
+     * <p> The height of the area is ignored, since children are placed at their preferred heights whenever they fill
+     * the area; the pane growing as messages are appended does not move existing children.
+     *
+     * @param area The area within which children are about to be placed.
+     * @return `true` if the area has the same left edge, top edge and width as at the last pass, `false` otherwise.
+     */
+    private boolean isSameColumn(Rectangle area) {
+        return this.laidOutArea != null
+                && area.x == this.laidOutArea.x
+                && area.y == this.laidOutArea.y
+                && area.width == this.laidOutArea.width;
+    }
+
+    /**
+     * An internal function to discard every measurement, so that all children are measured and positioned afresh.
+     */
+    private void reset() {
+        this.measured = 0;
+        this.widest = 0;
+        this.firstChanged = 0;
+    }
+
+    /**
+     * An internal function to grow the measurement arrays so that they can hold the given number of children.
+     *
+     * @param count The number of children which must fit.
+     */
+    private void ensureCapacity(int count) {
+        if (count <= this.heights.length)
+            return;
+        var capacity = Math.max(count, 2 * this.heights.length);
+        this.heights = Arrays.copyOf(this.heights, capacity);
+        this.widths = Arrays.copyOf(this.widths, capacity);
+        this.tops = Arrays.copyOf(this.tops, capacity + 1);
+    }
+}
@@ -9,6 +9,16 @@ import java.awt.*;
  */
 public class MessagePanel extends JPanel {
 
+    /**
+     * The sequence number of the message shown within this panel.
+     */
+    private final int sequence;
+
+    /**
+     * The label showing how many participants have read this panel's message, if it was sent by this view's user.
+     */
+    private final JLabel receiptLabel;
+
     /**
      * Construct a new panel to display a server-wide announcement.
      *
@@ -18,6 +28,8 @@ public class MessagePanel extends JPanel {
      */
     public MessagePanel(String serverMsg) {
         super();
+        this.sequence = ReceiptTracker.NONE;
+        this.receiptLabel = null;
         this.setLayout(new BorderLayout());
         var label = new JLabel(serverMsg);
         label.setHorizontalAlignment(JLabel.CENTER);
@@ -27,14 +39,64 @@ public class MessagePanel extends JPanel {
     /**
      * Construct a new panel to display a chat message.
      *
-     * <p> If the message is from the user, it will be right-aligned, otherwise it will be left-aligned.
+     * <p> If the message is from the user, it will be right-aligned with a read receipt indicator beneath it,
+     * otherwise it will be left-aligned.
      *
      * @param msg The message to print within this view.
+     * @param sequence The sequence number of the message within its chat.
+     * @param isSender A flag to determine the orientation of text within this view.
+     */
+    public MessagePanel(Message msg, int sequence, boolean isSender) {
+        this(msg.sender(), msg.content(), sequence, isSender);
+    }
+
+    /**
+     * Construct a new panel to display a chat message from its parts.
+     *
+     * @param sender The sender of the message to print within this view.
+     * @param content The content of the message to print within this view.
+     * @param sequence The sequence number of the message within its chat.
      * @param isSender A flag to determine the orientation of text within this view.
+     * @see #MessagePanel(Message, int, boolean)
      */
-    public MessagePanel(Message msg, boolean isSender) {
+    public MessagePanel(Person sender, String content, int sequence, boolean isSender) {
         super();
+        this.sequence = sequence;
         this.setLayout(new BorderLayout());
-        this.add(new JLabel(msg.toString()), isSender ? BorderLayout.EAST : BorderLayout.WEST);
+        this.add(new JLabel(Message.format(sender, content)), isSender ? BorderLayout.EAST : BorderLayout.WEST);
+        if (isSender) {
+            this.receiptLabel = new JLabel();
+            this.receiptLabel.setHorizontalAlignment(JLabel.RIGHT);
+            this.receiptLabel.setFont(this.receiptLabel.getFont().deriveFont(Font.PLAIN, 10f));
+            this.add(this.receiptLabel, BorderLayout.SOUTH);
+        } else {
+            this.receiptLabel = null;
+        }
+    }
+
+    /**
+     * Access the sequence number of the message shown within this panel.
+     *
+     * @return The message's sequence number, or {@link ReceiptTracker#NONE} for a server announcement.
+     */
+    public int getSequence() { return this.sequence; }
+
+    /**
+     * Update the read receipt indicator shown beneath this panel's message.
+     *
+     * <p> This has no effect on panels which do not show a receipt indicator. The caller is responsible for
+     * revalidating the containing view.
+     *
+     * @param seen The number of other participants who have read the message.
+     * @param total The number of other participants in the chat.
+     * @return `true` if the indicator's text changed, `false` otherwise.
+     */
+    public boolean updateReceipt(int seen, int total) {
+        if (this.receiptLabel == null) return false;
+        var text = total > 0 ? "Seen by " + seen + " of " + total : "";
+        if (text.equals(this.receiptLabel.getText()))
+            return false;
+        this.receiptLabel.setText(text);
+        return true;
     }
 }
@@ -0,0 +1,129 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the filtering, demand accounting and overflow reporting of a GroupChat's event stream.
+ */
+class GroupChatEventsTest {
+
+    /**
+     * The longest time to wait for an asynchronous signal, in seconds.
+     */
+    private static final long TIMEOUT = 5;
+
+    /**
+     * A subscriber which requests a fixed number of events on subscribing and records every signal it receives.
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<ChatEvent> {
+
+        private final long initialDemand;
+        private final BlockingQueue<ChatEvent> received = new LinkedBlockingQueue<>();
+        private final CompletableFuture<Throwable> error = new CompletableFuture<>();
+        private final CompletableFuture<Flow.Subscription> subscription = new CompletableFuture<>();
+
+        RecordingSubscriber(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription.complete(subscription);
+            subscription.request(this.initialDemand);
+        }
+
+        @Override
+        public void onNext(ChatEvent item) { this.received.add(item); }
+
+        @Override
+        public void onError(Throwable throwable) { this.error.complete(throwable); }
+
+        @Override
+        public void onComplete() {}
+
+        ChatEvent next() throws InterruptedException { return this.received.poll(TIMEOUT, TimeUnit.SECONDS); }
+    }
+
+    @Test
+    void rejectedEventsAreReplacedFromUpstream() throws Exception {
+        var chat = new GroupChat();
+        var alice = new Person("alice");
+        var bob = new Person("bob");
+        var subscriber = new RecordingSubscriber(1);
+        chat.subscribe(subscriber, ChatEvent.fromSender(bob));
+
+        chat.addMessage(alice, "first");
+        chat.addMessage(alice, "second");
+        chat.addMessage(bob, "third");
+        chat.addMessage(bob, "fourth");
+
+        var event = assertInstanceOf(ChatEvent.MessageSent.class, subscriber.next());
+        assertEquals(2, event.sequence());
+        assertEquals("third", event.message().content());
+        assertNull(subscriber.received.poll(200, TimeUnit.MILLISECONDS), "demand of one was exceeded");
+
+        subscriber.subscription.get(TIMEOUT, TimeUnit.SECONDS).request(1);
+        assertEquals(3, assertInstanceOf(ChatEvent.MessageSent.class, subscriber.next()).sequence());
+    }
+
+    @Test
+    void fromSenderMatchesOnlyThatPersonsEvents() {
+        var room = UUID.randomUUID();
+        var alice = new Person("alice");
+        var bob = new Person("bob");
+        var filter = ChatEvent.fromSender(alice);
+
+        assertTrue(filter.test(new ChatEvent.MessageSent(room, 0, new Message(alice, "hi"))));
+        assertTrue(filter.test(new ChatEvent.ParticipantJoined(room, alice)));
+        assertTrue(filter.test(new ChatEvent.ParticipantLeft(room, alice)));
+        assertFalse(filter.test(new ChatEvent.MessageSent(room, 0, new Message(bob, "hi"))));
+        assertFalse(filter.test(new ChatEvent.ParticipantJoined(room, bob)));
+        assertFalse(filter.test(new ChatEvent.ParticipantLeft(room, bob)));
+        assertFalse(filter.test(new ChatEvent.ParticipantCountChanged(room, 1)));
+    }
+
+    @Test
+    void inRoomMatchesOnlyThatRoomsEvents() {
+        var chat = new GroupChat();
+        var other = new GroupChat();
+        var alice = new Person("alice");
+        var filter = ChatEvent.inRoom(chat);
+
+        assertTrue(filter.test(new ChatEvent.MessageSent(chat.getId(), 0, new Message(alice, "hi"))));
+        assertTrue(filter.test(new ChatEvent.ParticipantCountChanged(chat.getId(), 1)));
+        assertFalse(filter.test(new ChatEvent.MessageSent(other.getId(), 0, new Message(alice, "hi"))));
+        assertFalse(filter.test(new ChatEvent.ParticipantCountChanged(other.getId(), 1)));
+    }
+
+    @Test
+    void overflowCancelsAndReportsTheFirstLostEvent() throws Exception {
+        var chat = new GroupChat();
+        var alice = new Person("alice");
+        chat.addMessage(alice, "before subscribing");
+        var delivered = 10;
+        var subscriber = new RecordingSubscriber(delivered);
+        chat.getEvents().subscribe(subscriber);
+
+        for (int i = 0; i < delivered; i++) {
+            chat.addMessage(alice, "delivered " + i);
+            assertEquals(i + 1, assertInstanceOf(ChatEvent.MessageSent.class, subscriber.next()).sequence());
+        }
+        for (int i = 0; i < 4 * Flow.defaultBufferSize(); i++)
+            chat.addMessage(alice, "buffered " + i);
+
+        subscriber.subscription.get(TIMEOUT, TimeUnit.SECONDS).request(Long.MAX_VALUE);
+        var error = assertInstanceOf(
+                ChatEventOverflowException.class,
+                subscriber.error.get(TIMEOUT, TimeUnit.SECONDS)
+        );
+        var firstLost = assertInstanceOf(ChatEvent.MessageSent.class, error.getFirstLost());
+        assertEquals(delivered + 1, firstLost.sequence());
+        assertEquals(delivered + 1, error.getFirstLostSequence());
+        assertTrue(subscriber.received.isEmpty(), "events were delivered after the overflow");
+    }
+}
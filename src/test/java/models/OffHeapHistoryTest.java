@@ -0,0 +1,105 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the record encoding, buffer growth and read paths of OffHeapHistory.
+ */
+class OffHeapHistoryTest {
+
+    @Test
+    void roundTripsMultiByteMessagesThroughGrowth() {
+        var history = new OffHeapHistory(8);
+        var alice = new Person("alice");
+        var bob = new Person("bob");
+        var expected = new ArrayList<Message>();
+        for (int i = 0; i < 5000; i++) {
+            var msg = new Message(i % 2 == 0 ? alice : bob, "h\u00e9llo w\u00f6rld \u2713 " + i);
+            expected.add(msg);
+            history.append(msg);
+        }
+
+        assertEquals(5000, history.size());
+        for (int i = 0; i < expected.size(); i++) {
+            var actual = history.get(i);
+            assertSame(expected.get(i).sender(), actual.sender());
+            assertEquals(expected.get(i).content(), actual.content());
+        }
+    }
+
+    @Test
+    void encodesLengthInUtf8Bytes() {
+        var history = new OffHeapHistory();
+        var content = "\u00fcn\u00efc\u00f8d\u00e9 \u2713";
+        history.append(new Message(new Person("alice"), "plain"));
+        history.append(new Message(new Person("bob"), content));
+
+        var bytes = content.getBytes(StandardCharsets.UTF_8).length;
+        assertTrue(bytes > content.length());
+        assertEquals(bytes, history.entry().moveTo(1).getContentLength());
+        assertEquals(2 * (2 * Integer.BYTES) + "plain".length() + bytes, history.getUsedBytes());
+    }
+
+    @Test
+    void handlesEmptyContent() {
+        var history = new OffHeapHistory(8);
+        var alice = new Person("alice");
+        history.append(new Message(alice, ""));
+        history.append(new Message(alice, "after"));
+
+        assertEquals("", history.get(0).content());
+        assertEquals("after", history.get(1).content());
+    }
+
+    @Test
+    void entryCanBeRepositionedRepeatedly() {
+        var history = new OffHeapHistory();
+        var alice = new Person("alice");
+        var bob = new Person("bob");
+        history.append(new Message(alice, "first"));
+        history.append(new Message(bob, "second"));
+
+        var entry = history.entry();
+        assertEquals("second", entry.moveTo(1).getContent());
+        assertSame(bob, entry.getSender());
+        assertEquals("first", entry.moveTo(0).getContent());
+        assertSame(alice, entry.getSender());
+    }
+
+    @Test
+    void forEachVisitsInOrder() {
+        var history = new OffHeapHistory(8);
+        var alice = new Person("alice");
+        for (int i = 0; i < 2000; i++)
+            history.append(new Message(alice, Integer.toString(i)));
+
+        var visited = new ArrayList<Integer>();
+        history.forEach((sequence, sender, content) -> {
+            assertSame(alice, sender);
+            assertEquals(Integer.toString(sequence), content);
+            visited.add(sequence);
+        });
+        assertEquals(2000, visited.size());
+        assertEquals(1999, visited.get(1999));
+    }
+
+    @Test
+    void rejectsOutOfRangeIndices() {
+        var history = new OffHeapHistory();
+        history.append(new Message(new Person("alice"), "only"));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> history.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> history.get(-1));
+        assertThrows(IllegalStateException.class, () -> history.entry().getContent());
+    }
+
+    @Test
+    void rejectsTooSmallInitialCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapHistory(4));
+    }
+}
@@ -0,0 +1,108 @@
+package models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the watermark bookkeeping and counting of ReceiptTracker.
+ */
+class ReceiptTrackerTest {
+
+    @Test
+    void watermarksOnlyMoveForward() {
+        var tracker = new ReceiptTracker();
+        var alice = new Person("alice");
+        tracker.register(alice);
+
+        tracker.acknowledgeDelivered(alice, 5);
+        tracker.acknowledgeDelivered(alice, 2);
+        tracker.acknowledgeRead(alice, 3);
+        tracker.acknowledgeRead(alice, 1);
+
+        assertEquals(5, tracker.getDelivered(alice));
+        assertEquals(3, tracker.getRead(alice));
+    }
+
+    @Test
+    void readImpliesDelivered() {
+        var tracker = new ReceiptTracker();
+        var alice = new Person("alice");
+        tracker.register(alice);
+
+        tracker.acknowledgeRead(alice, 7);
+
+        assertEquals(7, tracker.getDelivered(alice));
+    }
+
+    @Test
+    void untrackedParticipantsAreIgnored() {
+        var tracker = new ReceiptTracker();
+        var alice = new Person("alice");
+
+        tracker.acknowledgeRead(alice, 4);
+        assertEquals(ReceiptTracker.NONE, tracker.getRead(alice));
+        assertEquals(0, tracker.getParticipantCount());
+
+        tracker.register(alice);
+        tracker.acknowledgeRead(alice, 4);
+        tracker.unregister(alice);
+        assertEquals(ReceiptTracker.NONE, tracker.getDelivered(alice));
+    }
+
+    @Test
+    void snapshotExcludesTheGivenParticipant() {
+        var tracker = new ReceiptTracker();
+        var alice = new Person("alice");
+        var bob = new Person("bob");
+        var carol = new Person("carol");
+        tracker.register(alice);
+        tracker.register(bob);
+        tracker.register(carol);
+
+        tracker.acknowledgeRead(alice, 10);
+        tracker.acknowledgeRead(bob, 4);
+        tracker.acknowledgeRead(carol, 7);
+
+        var reads = tracker.snapshotReads(alice);
+        assertEquals(2, reads.getParticipantCount());
+        assertEquals(2, reads.countRead(0));
+        assertEquals(2, reads.countRead(4));
+        assertEquals(1, reads.countRead(5));
+        assertEquals(1, reads.countRead(7));
+        assertEquals(0, reads.countRead(8));
+    }
+
+    @Test
+    void snapshotCountsDuplicateWatermarks() {
+        var tracker = new ReceiptTracker();
+        var alice = new Person("alice");
+        tracker.register(alice);
+        for (int i = 0; i < 5; i++) {
+            var other = new Person("p" + i);
+            tracker.register(other);
+            tracker.acknowledgeRead(other, i < 3 ? 6 : ReceiptTracker.NONE);
+        }
+
+        var reads = tracker.snapshotReads(alice);
+        assertEquals(5, reads.getParticipantCount());
+        assertEquals(3, reads.countRead(6));
+        assertEquals(3, reads.countRead(0));
+        assertEquals(0, reads.countRead(7));
+    }
+
+    @Test
+    void snapshotIsUnaffectedByLaterAcknowledgements() {
+        var tracker = new ReceiptTracker();
+        var alice = new Person("alice");
+        var bob = new Person("bob");
+        tracker.register(alice);
+        tracker.register(bob);
+
+        var reads = tracker.snapshotReads(alice);
+        tracker.acknowledgeRead(bob, 3);
+
+        assertEquals(0, reads.countRead(0));
+        assertEquals(1, tracker.snapshotReads(alice).countRead(3));
+    }
+}
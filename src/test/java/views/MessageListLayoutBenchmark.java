@@ -0,0 +1,90 @@
+package views;
+
+import models.*;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * A benchmark of the time spent on the event dispatch thread per message, comparing the chat pane laid out with a
+ * BoxLayout against a MessageListLayout.
+ *
+ * <p> Each simulated window is a chat pane inside a scroll pane of a typical window size. Every message is appended to
+ * every window, which is then validated as the event dispatch thread would after a revalidate. Painting is not
+ * measured, since it cannot happen without a display.
+ *
+ * <p> This is excluded from the regular test run; run it with {@code gradle benchmark}.
+ */
+@Tag("benchmark")
+class MessageListLayoutBenchmark {
+
+    /**
+     * The number of untimed rounds run before measuring, to let the JIT compiler settle.
+     */
+    private static final int WARMUP_ROUNDS = 1;
+
+    /**
+     * The combinations of window count and message count to measure.
+     */
+    private static final int[][] SCENARIOS = {{20, 500}, {10, 2000}, {10, 5000}};
+
+    /**
+     * Append the given number of messages to the given number of chat panes, validating each pane after every append.
+     *
+     * @param boxLayout Whether to lay the chat panes out with a BoxLayout rather than a MessageListLayout.
+     * @param windows The number of windows to simulate.
+     * @param messages The number of messages to append to each window.
+     * @return The elapsed time in nanoseconds.
+     */
+    private static long run(boolean boxLayout, int windows, int messages) {
+        var roots = new JPanel[windows];
+        var panes = new JPanel[windows];
+        for (int w = 0; w < windows; w++) {
+            var pane = new JPanel();
+            pane.setLayout(boxLayout ? new BoxLayout(pane, BoxLayout.Y_AXIS) : new MessageListLayout());
+            var root = new JPanel(new BorderLayout());
+            root.add(new JScrollPane(pane));
+            root.setSize(400, 330);
+            root.addNotify();
+            root.validate();
+            roots[w] = root;
+            panes[w] = pane;
+        }
+
+        var alice = new Person("alice");
+        var bob = new Person("bob");
+        var start = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            var msg = new Message(i % 2 == 0 ? alice : bob, "message number " + i);
+            for (int w = 0; w < windows; w++) {
+                panes[w].add(new MessagePanel(msg, i, w == i % windows));
+                panes[w].revalidate();
+                roots[w].validate();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    @Test
+    void compareLayouts() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            for (var scenario : SCENARIOS) {
+                var windows = scenario[0];
+                var messages = scenario[1];
+                for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                    run(true, windows, messages);
+                    run(false, windows, messages);
+                }
+                var box = run(true, windows, messages);
+                var list = run(false, windows, messages);
+                var perMessage = 1e3 * messages * windows;
+                System.out.printf(
+                        "%2d windows x %4d messages: BoxLayout %6.1f us, MessageListLayout %6.1f us per message per window%n",
+                        windows, messages, box / perMessage, list / perMessage
+                );
+            }
+        });
+    }
+}
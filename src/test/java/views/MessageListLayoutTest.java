@@ -0,0 +1,115 @@
+package views;
+
+import models.*;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that MessageListLayout places message panels exactly where a vertical BoxLayout would, while re-measuring only
+ * the panels which change.
+ */
+class MessageListLayoutTest {
+
+    /**
+     * Build a chat pane inside a scroll pane of a typical window size, append the given number of messages one at a
+     * time (validating after each as the event dispatch thread would), then report the resulting bounds.
+     *
+     * @param boxLayout Whether to lay the chat pane out with a BoxLayout rather than a MessageListLayout.
+     * @param count The number of messages to append.
+     * @param updateReceipts Whether to fill in receipt indicators after appending, changing panel heights.
+     * @param insert Whether to insert further messages at the start and middle of the pane after appending.
+     * @return The bounds of every panel, followed by the size of the chat pane.
+     */
+    private static List<Rectangle> layOut(
+            boolean boxLayout,
+            int count,
+            boolean updateReceipts,
+            boolean insert
+    ) throws Exception {
+        var result = new ArrayList<Rectangle>();
+        SwingUtilities.invokeAndWait(() -> {
+            var pane = new JPanel();
+            pane.setLayout(boxLayout ? new BoxLayout(pane, BoxLayout.Y_AXIS) : new MessageListLayout());
+            var root = new JPanel(new BorderLayout());
+            root.add(new JScrollPane(pane));
+            root.setSize(400, 330);
+            root.addNotify();
+            root.validate();
+
+            var sender = new Person("alice");
+            for (int i = 0; i < count; i++) {
+                pane.add(new MessagePanel(new Message(sender, "message " + i), i, i % 3 == 0));
+                pane.revalidate();
+                root.validate();
+            }
+            if (updateReceipts) {
+                for (int i = 0; i < count; i += 3) {
+                    ((MessagePanel) pane.getComponent(i)).updateReceipt(1, 2);
+                    root.validate();
+                }
+            }
+            if (insert) {
+                pane.add(new MessagePanel(new Message(sender, "inserted first"), 0, true), 0);
+                pane.revalidate();
+                root.validate();
+                pane.add(new MessagePanel(new Message(sender, "inserted in the middle"), 0, true), count / 2);
+                pane.revalidate();
+                root.validate();
+            }
+            for (var child : pane.getComponents())
+                result.add(child.getBounds());
+            result.add(new Rectangle(pane.getSize()));
+        });
+        return result;
+    }
+
+    @Test
+    void matchesBoxLayoutWhenMessagesDoNotFillThePane() throws Exception {
+        for (int count : new int[] {1, 2, 5, 12}) {
+            assertEquals(
+                    layOut(true, count, false, false),
+                    layOut(false, count, false, false),
+                    "count " + count
+            );
+        }
+    }
+
+    @Test
+    void matchesBoxLayoutOnceMessagesOverflowThePane() throws Exception {
+        for (int count : new int[] {19, 20, 21, 60}) {
+            assertEquals(
+                    layOut(true, count, false, false),
+                    layOut(false, count, false, false),
+                    "count " + count
+            );
+        }
+    }
+
+    @Test
+    void matchesBoxLayoutAfterPanelHeightsChange() throws Exception {
+        for (int count : new int[] {4, 40}) {
+            assertEquals(
+                    layOut(true, count, true, false),
+                    layOut(false, count, true, false),
+                    "count " + count
+            );
+        }
+    }
+
+    @Test
+    void matchesBoxLayoutAfterMessagesAreInserted() throws Exception {
+        for (int count : new int[] {4, 40}) {
+            assertEquals(
+                    layOut(true, count, false, true),
+                    layOut(false, count, false, true),
+                    "count " + count
+            );
+        }
+    }
+}